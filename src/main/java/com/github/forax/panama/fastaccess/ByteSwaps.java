@@ -0,0 +1,217 @@
+package com.github.forax.panama.fastaccess;
+
+import jdk.incubator.foreign.GroupLayout;
+import jdk.incubator.foreign.MemoryAccess;
+import jdk.incubator.foreign.MemoryLayout;
+import jdk.incubator.foreign.MemorySegment;
+import jdk.incubator.foreign.SequenceLayout;
+import jdk.incubator.foreign.ValueLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static java.nio.ByteOrder.nativeOrder;
+
+final class ByteSwaps {
+  private ByteSwaps() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Segments bigger than that (in bytes) are swapped in parallel if they are shared.
+   */
+  private static final long PARALLEL_THRESHOLD = 1 << 20;
+
+  static MemoryLayout nativeOrderLayout(MemoryLayout layout) {
+    if (layout instanceof ValueLayout valueLayout) {
+      return valueLayout.withOrder(nativeOrder());
+    }
+    MemoryLayout twin;
+    if (layout instanceof SequenceLayout sequenceLayout) {
+      var elementLayout = nativeOrderLayout(sequenceLayout.elementLayout());
+      var elementCount = sequenceLayout.elementCount();
+      twin = elementCount.isPresent()?
+          MemoryLayout.ofSequence(elementCount.getAsLong(), elementLayout):
+          MemoryLayout.ofSequence(elementLayout);
+    } else if (layout instanceof GroupLayout groupLayout) {
+      var memberLayouts = groupLayout.memberLayouts().stream()
+          .map(ByteSwaps::nativeOrderLayout)
+          .toArray(MemoryLayout[]::new);
+      twin = groupLayout.isStruct()? MemoryLayout.ofStruct(memberLayouts): MemoryLayout.ofUnion(memberLayouts);
+    } else {
+      return layout;  // padding
+    }
+    if (twin.bitAlignment() != layout.bitAlignment()) {
+      twin = twin.withBitAlignment(layout.bitAlignment());
+    }
+    return layout.name().map(twin::withName).orElse(twin);
+  }
+
+  /**
+   * The values to swap inside an element of the table, with {@code count} elements of size {@code elementSize}.
+   * If all the values have the same size and fill the whole element, {@code uniformSize} is that size,
+   * otherwise it's zero.
+   */
+  private record SwapPlan(long elementSize, long count, long[] offsets, int[] sizes, int uniformSize) {
+    private long byteSize() {
+      return elementSize * count;
+    }
+
+    private static SwapPlan of(MemoryLayout layout, MemorySegment segment) {
+      MemoryLayout elementLayout;
+      long count;
+      if (layout instanceof SequenceLayout sequenceLayout) {
+        elementLayout = sequenceLayout.elementLayout();
+        var elementSize = elementLayout.byteSize();
+        count = sequenceLayout.elementCount().orElse(elementSize == 0? 0: segment.byteSize() / elementSize);
+      } else {
+        elementLayout = layout;
+        count = 1;
+      }
+      var values = new ArrayList<long[]>();
+      collectValues(elementLayout, 0, values);
+
+      var elementSize = elementLayout.byteSize();
+      var offsets = values.stream().mapToLong(value -> value[0]).toArray();
+      var sizes = values.stream().mapToInt(value -> (int) value[1]).toArray();
+      var uniformSize = sizes.length == 0? 0: sizes[0];
+      for(var size: sizes) {
+        if (size != uniformSize) {
+          uniformSize = 0;
+          break;
+        }
+      }
+      if ((long) uniformSize * sizes.length != elementSize) {
+        uniformSize = 0;
+      }
+      return new SwapPlan(elementSize, count, offsets, sizes, uniformSize);
+    }
+
+    private static void collectValues(MemoryLayout layout, long offset, List<long[]> values) {
+      if (layout instanceof ValueLayout valueLayout) {
+        var size = valueLayout.byteSize();
+        if (valueLayout.order() == nativeOrder() || size == 1) {
+          return;
+        }
+        if (size != 2 && size != 4 && size != 8) {
+          throw new IllegalArgumentException("can not swap the bytes of the value layout " + layout);
+        }
+        values.add(new long[] { offset, size });
+        return;
+      }
+      if (layout instanceof SequenceLayout sequenceLayout) {
+        var elementCount = sequenceLayout.elementCount()
+            .orElseThrow(() -> new IllegalArgumentException("only the outermost sequence layout can be unbounded " + layout));
+        var elementLayout = sequenceLayout.elementLayout();
+        var elementSize = elementLayout.byteSize();
+        for(var i = 0L; i < elementCount; i++) {
+          collectValues(elementLayout, offset + i * elementSize, values);
+        }
+        return;
+      }
+      if (layout instanceof GroupLayout groupLayout) {
+        if (groupLayout.isUnion()) {
+          var unionValues = new ArrayList<long[]>();
+          for(var memberLayout: groupLayout.memberLayouts()) {
+            collectValues(memberLayout, offset, unionValues);
+          }
+          if (!unionValues.isEmpty()) {
+            throw new IllegalArgumentException("can not swap the bytes of the union layout " + layout);
+          }
+          return;
+        }
+        var memberOffset = offset;
+        for(var memberLayout: groupLayout.memberLayouts()) {
+          collectValues(memberLayout, memberOffset, values);
+          memberOffset += memberLayout.byteSize();
+        }
+      }
+      // padding, nothing to do
+    }
+  }
+
+  static void swapByteOrder(MemoryLayout layout, MemorySegment segment) {
+    var plan = SwapPlan.of(layout, segment);
+    swap(plan, segment.asSlice(0, plan.byteSize()));
+  }
+
+  static void swapByteOrder(MemoryLayout layout, MemorySegment source, MemorySegment destination) {
+    var plan = SwapPlan.of(layout, source);
+    var byteSize = plan.byteSize();
+    var slice = destination.asSlice(0, byteSize);
+    slice.copyFrom(source.asSlice(0, byteSize));
+    swap(plan, slice);
+  }
+
+  private static void swap(SwapPlan plan, MemorySegment segment) {
+    if (plan.offsets.length == 0) {
+      return;
+    }
+    var byteSize = segment.byteSize();
+    var parallel = segment.ownerThread() == null && byteSize > PARALLEL_THRESHOLD;
+    if (plan.uniformSize != 0) {
+      // the table is an array of values of the same size, swap 8 bytes at a time
+      if (!parallel) {
+        swapUniform(segment, 0, byteSize, plan.uniformSize);
+        return;
+      }
+      var chunkSize = (byteSize / ForkJoinPool.getCommonPoolParallelism() + 7) & ~7L;
+      LongStream.range(0, (byteSize + chunkSize - 1) / chunkSize).parallel().forEach(chunk -> {
+        var from = chunk * chunkSize;
+        swapUniform(segment, from, Math.min(byteSize, from + chunkSize), plan.uniformSize);
+      });
+      return;
+    }
+    if (!parallel) {
+      swapElements(plan, segment, 0, plan.count);
+      return;
+    }
+    var chunkCount = Math.max(1, plan.count / ForkJoinPool.getCommonPoolParallelism());
+    LongStream.range(0, (plan.count + chunkCount - 1) / chunkCount).parallel().forEach(chunk -> {
+      var from = chunk * chunkCount;
+      swapElements(plan, segment, from, Math.min(plan.count, from + chunkCount));
+    });
+  }
+
+  private static void swapUniform(MemorySegment segment, long from, long to, int size) {
+    var offset = from;
+    for(; offset + 8 <= to; offset += 8) {
+      var value = MemoryAccess.getLongAtOffset(segment, offset);
+      MemoryAccess.setLongAtOffset(segment, offset, swapLanes(value, size));
+    }
+    for(; offset < to; offset += size) {
+      swapValue(segment, offset, size);
+    }
+  }
+
+  private static long swapLanes(long value, int size) {
+    return switch (size) {
+      case 2 -> ((value >>> 8) & 0x00FF00FF00FF00FFL) | ((value & 0x00FF00FF00FF00FFL) << 8);
+      case 4 -> Long.rotateLeft(Long.reverseBytes(value), 32);
+      case 8 -> Long.reverseBytes(value);
+      default -> throw new AssertionError("invalid size " + size);
+    };
+  }
+
+  private static void swapElements(SwapPlan plan, MemorySegment segment, long from, long to) {
+    var offsets = plan.offsets;
+    var sizes = plan.sizes;
+    for(var i = from; i < to; i++) {
+      var base = i * plan.elementSize;
+      for(var j = 0; j < offsets.length; j++) {
+        swapValue(segment, base + offsets[j], sizes[j]);
+      }
+    }
+  }
+
+  private static void swapValue(MemorySegment segment, long offset, int size) {
+    switch (size) {
+      case 2 -> MemoryAccess.setShortAtOffset(segment, offset, Short.reverseBytes(MemoryAccess.getShortAtOffset(segment, offset)));
+      case 4 -> MemoryAccess.setIntAtOffset(segment, offset, Integer.reverseBytes(MemoryAccess.getIntAtOffset(segment, offset)));
+      case 8 -> MemoryAccess.setLongAtOffset(segment, offset, Long.reverseBytes(MemoryAccess.getLongAtOffset(segment, offset)));
+      default -> throw new AssertionError("invalid size " + size);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.github.forax.panama.fastaccess;
 import jdk.incubator.foreign.MemoryLayout;
 import jdk.incubator.foreign.MemorySegment;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -258,13 +259,137 @@ public interface FastAccess {
    *  }
    * </pre>
    *
+   * The instances are cached, two calls with layouts that are {@link MemoryLayout#equals(Object) equals}
+   * return the same instance as long as that instance is reachable.
+   *
    * @param layout the memory layout used to specify the access patterns
-   * @return a new {@code FastAccess} instance
+   * @return a {@code FastAccess} instance
    *
    * @throws NullPointerException if the layout is null
+   *
+   * @see #of(MemoryLayout, List)
    */
   static FastAccess of(MemoryLayout layout) {
+    return of(layout, List.of());
+  }
+
+  /**
+   * Creates a {@code FastAccess} instance from a {@link MemoryLayout} and resolves upfront
+   * the {@code paths} that will be used to access the segments.
+   *
+   * Resolving the paths at class initialization time avoids to parse them and create the corresponding
+   * {@link java.lang.invoke.VarHandle}s on the first access. Those resolved paths are shared
+   * by all the users of the same {@code FastAccess} instance.
+   * <pre>
+   *  private static final FastAccess FAST_ACCESS;
+   *  static {
+   *    MemoryLayout layout = ...
+   *    FAST_ACCESS = FastAccess.of(layout, List.of("[].key", "[].value"));
+   *  }
+   * </pre>
+   *
+   * @param layout the memory layout used to specify the access patterns
+   * @param paths the paths to resolve
+   * @return a {@code FastAccess} instance
+   *
+   * @throws NullPointerException if the layout, the list of paths or one of the paths is null
+   * @throws IllegalArgumentException if the syntax of one path is invalid or if one layout path does not select
+   *         a value layout (see {@link jdk.incubator.foreign.ValueLayout}) or if the selected value layout has
+   *         a size that that does not match that of the size of an int
+   * @throws IllegalStateException if one path has more than four {@code []}
+   *
+   * @see #of(MemoryLayout)
+   */
+  static FastAccess of(MemoryLayout layout, List<String> paths) {
+    Objects.requireNonNull(layout, "layout is null");
+    Objects.requireNonNull(paths, "paths is null");
+    return FastAccessImpl.getImpl(layout, paths);
+  }
+
+  /**
+   * Creates a {@code FastAccess} instance on the native order twin of a {@link MemoryLayout}
+   * (see {@link #nativeOrderLayout(MemoryLayout)}).
+   *
+   * This is useful when the data are stored in a byte order that is not the native one,
+   * once the segment is converted using {@link #swapByteOrder(MemoryLayout, MemorySegment)},
+   * the accesses do not have to swap the bytes anymore.
+   * <pre>
+   *  private static final MemoryLayout WIRE_LAYOUT = MemoryLayout.ofSequence(
+   *      MemoryLayout.ofValueBits(32, ByteOrder.BIG_ENDIAN));
+   *  private static final FastAccess FAST_ACCESS = FastAccess.ofNativeOrder(WIRE_LAYOUT);
+   *  ...
+   *  FastAccess.swapByteOrder(WIRE_LAYOUT, segment);
+   *  FAST_ACCESS.getInt(segment, "[]", 3);
+   * </pre>
+   *
+   * @param layout the memory layout of the data
+   * @return a {@code FastAccess} instance on the native order twin of the {@code layout}
+   *
+   * @throws NullPointerException if the layout is null
+   */
+  static FastAccess ofNativeOrder(MemoryLayout layout) {
+    return of(nativeOrderLayout(layout));
+  }
+
+  /**
+   * Returns a layout with the same structure, the same names and the same alignments as {@code layout}
+   * but with all the value layouts (see {@link jdk.incubator.foreign.ValueLayout}) in the native byte order.
+   *
+   * @param layout a memory layout
+   * @return the native order twin of {@code layout}
+   *
+   * @throws NullPointerException if the layout is null
+   */
+  static MemoryLayout nativeOrderLayout(MemoryLayout layout) {
+    Objects.requireNonNull(layout, "layout is null");
+    return ByteSwaps.nativeOrderLayout(layout);
+  }
+
+  /**
+   * Swaps in place the bytes of all the values of the {@code segment} described by the {@code layout}
+   * which are not in the native byte order, thus converting the {@code segment} from the {@code layout}
+   * to its native twin (see {@link #nativeOrderLayout(MemoryLayout)}) and vice versa.
+   *
+   * If the {@code layout} is a sequence layout without an element count, the number of elements
+   * is computed from the size of the {@code segment}.
+   * Large shared segments are converted in parallel.
+   *
+   * @param layout the memory layout of the data
+   * @param segment the segment to convert
+   *
+   * @throws NullPointerException if either the {@code layout} or the {@code segment} is null
+   * @throws IllegalArgumentException if a value to swap is not 2, 4 or 8 bytes long, is part of a union
+   *         or if a sequence layout which is not the outermost layout has no element count
+   * @throws IndexOutOfBoundsException if the {@code segment} is smaller than the {@code layout}
+   */
+  static void swapByteOrder(MemoryLayout layout, MemorySegment segment) {
+    Objects.requireNonNull(layout, "layout is null");
+    Objects.requireNonNull(segment, "segment is null");
+    ByteSwaps.swapByteOrder(layout, segment);
+  }
+
+  /**
+   * Copies the data of the {@code source} segment described by the {@code layout} into the {@code destination}
+   * segment and swaps the bytes of all the values which are not in the native byte order.
+   *
+   * The {@code source} is left unchanged.
+   *
+   * @param layout the memory layout of the data
+   * @param source the segment to convert
+   * @param destination the segment that will contain the converted data
+   *
+   * @throws NullPointerException if either the {@code layout}, the {@code source} or the {@code destination} is null
+   * @throws IllegalArgumentException if a value to swap is not 2, 4 or 8 bytes long, is part of a union
+   *         or if a sequence layout which is not the outermost layout has no element count
+   * @throws IndexOutOfBoundsException if either the {@code source} or the {@code destination} is smaller
+   *         than the {@code layout}
+   *
+   * @see #swapByteOrder(MemoryLayout, MemorySegment)
+   */
+  static void swapByteOrder(MemoryLayout layout, MemorySegment source, MemorySegment destination) {
     Objects.requireNonNull(layout, "layout is null");
-    return FastAccessImpl.getImpl(layout);
+    Objects.requireNonNull(source, "source is null");
+    Objects.requireNonNull(destination, "destination is null");
+    ByteSwaps.swapByteOrder(layout, source, destination);
   }
 }
@@ -9,8 +9,11 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.invoke.MutableCallSite;
 import java.lang.invoke.VarHandle.AccessMode;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.invoke.MethodHandles.dropArguments;
 import static java.lang.invoke.MethodHandles.guardWithTest;
@@ -19,7 +22,7 @@ import static java.lang.invoke.MethodType.methodType;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.IntStream.range;
 
-record FastAccessImpl(MethodHandle getInt, MethodHandle setInt) implements FastAccess {
+record FastAccessImpl(PathPlans pathPlans, MethodHandle getInt, MethodHandle setInt) implements FastAccess {
   @Override
   public int getInt(MemorySegment segment, String path) {
     try {
@@ -130,16 +133,78 @@ record FastAccessImpl(MethodHandle getInt, MethodHandle setInt) implements FastA
     }
   }
 
-  static FastAccess getImpl(MemoryLayout layout) {
-    return new FastAccessImpl(getIntMH(layout), setIntMH(layout));
+  private static final WeakHashMap<MemoryLayout, WeakReference<FastAccessImpl>> INSTANCES = new WeakHashMap<>();
+
+  static FastAccess getImpl(MemoryLayout layout, List<String> paths) {
+    FastAccessImpl impl;
+    synchronized (INSTANCES) {
+      var ref = INSTANCES.get(layout);
+      impl = ref == null? null: ref.get();
+      if (impl == null) {
+        var pathPlans = new PathPlans(layout);
+        impl = new FastAccessImpl(pathPlans, getIntMH(pathPlans), setIntMH(pathPlans));
+        INSTANCES.put(layout, new WeakReference<>(impl));
+      }
+    }
+    for(var path: paths) {
+      requireNonNull(path, "one path is null");
+      impl.pathPlans.plan(int.class, path);
+    }
+    return impl;
+  }
+
+  private static MethodHandle getIntMH(PathPlans pathPlans) {
+    return new InliningCache(int.class, AccessMode.GET, pathPlans).dynamicInvoker();
+  }
+
+  private static MethodHandle setIntMH(PathPlans pathPlans) {
+    return new InliningCache(int.class, AccessMode.SET, pathPlans).dynamicInvoker();
   }
 
-  private static MethodHandle getIntMH(MemoryLayout layout) {
-    return new InliningCache(int.class, AccessMode.GET, layout).dynamicInvoker();
+  /**
+   * A path resolved against a layout, the method handles are already adapted to the shape
+   * used by the {@link InliningCache}, (segment, long, long, long, long) for a getter and
+   * (segment, value, long, long, long, long) for a setter.
+   */
+  private record PathPlan(int arity, MethodHandle getter, MethodHandle setter) {
+    private static PathPlan resolve(MemoryLayout layout, Class<?> carrier, String path) {
+      var pathElements = parsePath(path);
+      var varHandle = layout.varHandle(carrier, pathElements.toArray(PathElement[]::new));
+      var arity = varHandle.coordinateTypes().size() - 1;
+      if (arity > 4) {
+        throw new IllegalStateException("path arity " + arity + " is greater than 4");
+      }
+      var padding = range(0, 4 - arity).mapToObj(__ -> long.class).toArray(Class[]::new);
+
+      var getter = varHandle.toMethodHandle(AccessMode.GET);
+      getter = dropArguments(getter, 1 + arity, padding);
+
+      var setter = varHandle.toMethodHandle(AccessMode.SET);
+      setter = dropArguments(setter, 1 + arity, padding);
+      setter = MethodHandles.permuteArguments(setter,
+          methodType(void.class, MemorySegment.class, carrier, long.class, long.class, long.class, long.class),
+          0, 2, 3, 4, 5, 1);
+
+      return new PathPlan(arity, getter, setter);
+    }
   }
 
-  private static MethodHandle setIntMH(MemoryLayout layout) {
-    return new InliningCache(int.class, AccessMode.SET, layout).dynamicInvoker();
+  /**
+   * The resolved paths of a layout, shared by all the {@link InliningCache}s of a {@code FastAccess}.
+   */
+  private static class PathPlans {
+    private record Key(Class<?> carrier, String path) {}
+
+    private final MemoryLayout layout;
+    private final ConcurrentHashMap<Key, PathPlan> plans = new ConcurrentHashMap<>();
+
+    private PathPlans(MemoryLayout layout) {
+      this.layout = layout;
+    }
+
+    private PathPlan plan(Class<?> carrier, String path) {
+      return plans.computeIfAbsent(new Key(carrier, path), key -> PathPlan.resolve(layout, key.carrier, key.path));
+    }
   }
 
   private static class InliningCache extends MutableCallSite {
@@ -161,13 +226,13 @@ record FastAccessImpl(MethodHandle getInt, MethodHandle setInt) implements FastA
 
     private final Class<?> carrier;
     private final AccessMode accessMode;
-    private final MemoryLayout layout;
+    private final PathPlans pathPlans;
 
-    private InliningCache(Class<?> carrier, AccessMode accessMode, MemoryLayout layout) {
+    private InliningCache(Class<?> carrier, AccessMode accessMode, PathPlans pathPlans) {
       super(typeFromAccessMode(carrier, accessMode));
       this.carrier = carrier;
       this.accessMode = accessMode;
-      this.layout = layout;
+      this.pathPlans = pathPlans;
       setTarget(fallback(accessMode).bindTo(this).asCollector(long[].class, 4).asType(type()));
     }
 
@@ -192,7 +257,7 @@ record FastAccessImpl(MethodHandle getInt, MethodHandle setInt) implements FastA
       return path == expectedPath && arity == expectedArity;
     }
 
-    private Object erasedGet(String path, int arity, MemorySegment segment, long[] indexes) throws Throwable {
+    private PathPlan plan(String path, int arity, MemorySegment segment) {
       requireNonNull(segment, "segment is null");
       requireNonNull(path, "path is null");
 
@@ -201,62 +266,36 @@ record FastAccessImpl(MethodHandle getInt, MethodHandle setInt) implements FastA
         throw new IllegalArgumentException("path " + path + " is not a constant string");
       }
 
-      var pathElements = parsePath(path);
-      var varHandle = layout.varHandle(carrier, pathElements.toArray(PathElement[]::new));
-      var mh = varHandle.toMethodHandle(AccessMode.GET);
-
-      var parameterCount = mh.type().parameterCount();
-      if (arity != parameterCount - 1) {
-        throw new IllegalStateException("path arity " + (parameterCount - 1) + " does not match method arity " + arity);
+      var plan = pathPlans.plan(carrier, path);
+      if (arity != plan.arity) {
+        throw new IllegalStateException("path arity " + plan.arity + " does not match method arity " + arity);
       }
+      return plan;
+    }
 
-      if (parameterCount != 5) {
-        mh = dropArguments(mh, parameterCount, range(0, 5 - parameterCount).mapToObj(__ -> long.class).toArray(Class[]::new));
-      }
+    private Object erasedGet(String path, int arity, MemorySegment segment, long[] indexes) throws Throwable {
+      var mh = plan(path, arity, segment).getter;
 
       var result = mh.asSpreader(long[].class, 4).invoke(segment, indexes);
 
       var guard = guardWithTest(
           insertArguments(SAME_SHAPE, 2, path, arity),
           dropArguments(mh, 0, String.class, int.class),
-          new InliningCache(carrier, accessMode, layout).dynamicInvoker());
+          new InliningCache(carrier, accessMode, pathPlans).dynamicInvoker());
       setTarget(guard);
 
       return result;
     }
 
     private void erasedSet(String path, int arity, MemorySegment segment, Object value, long[] indexes) throws Throwable {
-      requireNonNull(segment, "segment is null");
-      requireNonNull(path, "path is null");
-
-      //noinspection StringEquality
-      if (path != path.intern()) {
-        throw new IllegalArgumentException("path " + path + " is not a constant string");
-      }
-
-      var pathElements = parsePath(path);
-      var varHandle = layout.varHandle(carrier, pathElements.toArray(PathElement[]::new));
-      var mh = varHandle.toMethodHandle(AccessMode.SET);
-
-      var parameterCount = mh.type().parameterCount();
-      if (arity != parameterCount - 2) {
-        throw new IllegalStateException("path arity " + (parameterCount - 2) + " does not match method arity " + arity);
-      }
-
-      if (parameterCount != 6) {
-        mh = dropArguments(mh, parameterCount - 1, range(0, 6 - mh.type().parameterCount()).mapToObj(__ -> long.class).toArray(Class[]::new));
-      }
-
-      mh = MethodHandles.permuteArguments(mh,
-          methodType(void.class, MemorySegment.class, int.class, long.class, long.class, long.class, long.class),
-          0, 2, 3, 4, 5, 1);
+      var mh = plan(path, arity, segment).setter;
 
       mh.asSpreader(long[].class, 4).invoke(segment, value, indexes);
 
       var guard = guardWithTest(
           insertArguments(SAME_SHAPE, 2, path, arity),
           dropArguments(mh, 0, String.class, int.class),
-          new InliningCache(carrier, accessMode, layout).dynamicInvoker());
+          new InliningCache(carrier, accessMode, pathPlans).dynamicInvoker());
       setTarget(guard);
     }
   }
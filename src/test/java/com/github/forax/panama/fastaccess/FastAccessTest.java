@@ -6,6 +6,9 @@ import jdk.incubator.foreign.MemorySegment;
 import jdk.incubator.foreign.SequenceLayout;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
+import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.nativeOrder;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -120,5 +123,245 @@ public class FastAccessTest {
     }
   }
 
+  @Test
+  public void ofSharedInstance() {
+    var fastAccess1 = FastAccess.of(MemoryLayout.ofSequence(
+        MemoryLayout.ofValueBits(32, nativeOrder())
+    ));
+    var fastAccess2 = FastAccess.of(MemoryLayout.ofSequence(
+        MemoryLayout.ofValueBits(32, nativeOrder())
+    ));
+    assertSame(fastAccess1, fastAccess2);
+  }
+
+  @Test
+  public void ofWithPaths() {
+    SequenceLayout keyValues = MemoryLayout.ofSequence(
+        MemoryLayout.ofStruct(
+            MemoryLayout.ofValueBits(32, nativeOrder()).withName("key"),
+            MemoryLayout.ofValueBits(32, nativeOrder()).withName("value")
+        )
+    );
+
+    var fastAccess = FastAccess.of(keyValues, List.of("[].key", "[].value"));
+    try (var segment = MemorySegment.allocateNative(400)) {
+      fastAccess.setInt(segment, "[].key", 1, 42);
+      fastAccess.setInt(segment, "[].value", 2, 84);
+
+      assertEquals(42, fastAccess.getInt(segment, "[].key", 1));
+      assertEquals(84, fastAccess.getInt(segment, "[].value", 2));
+    }
+  }
+
+  @Test
+  public void ofWithInvalidPaths() {
+    var struct = MemoryLayout.ofStruct(
+        MemoryLayout.ofValueBits(32, nativeOrder()).withName("key")
+    );
+
+    assertAll(
+        () -> assertThrows(IllegalArgumentException.class, () -> FastAccess.of(struct, List.of(".foo"))),
+        () -> assertThrows(IllegalArgumentException.class, () -> FastAccess.of(struct, List.of("key"))),
+        () -> assertThrows(NullPointerException.class, () -> FastAccess.of(struct, null)),
+        () -> assertThrows(NullPointerException.class, () -> FastAccess.of(null, List.of()))
+    );
+  }
+
+  @Test
+  public void pathWithTooManyIndexes() {
+    var array5D = MemoryLayout.ofSequence(
+        MemoryLayout.ofSequence(2,
+            MemoryLayout.ofSequence(2,
+                MemoryLayout.ofSequence(2,
+                    MemoryLayout.ofSequence(2,
+                        MemoryLayout.ofValueBits(32, nativeOrder())
+                    )
+                )
+            )
+        )
+    );
+
+    var fastAccess = FastAccess.of(array5D);
+    try (var segment = MemorySegment.allocateNative(400)) {
+      assertAll(
+          () -> assertThrows(IllegalStateException.class, () -> fastAccess.getInt(segment, "[][][][][]", 0, 0, 0, 0)),
+          () -> assertThrows(IllegalStateException.class, () -> fastAccess.setInt(segment, "[][][][][]", 0, 0, 0, 0, 42)),
+          () -> assertThrows(IllegalStateException.class, () -> FastAccess.of(array5D, List.of("[][][][][]")))
+      );
+    }
+  }
+
+  @Test
+  public void nativeOrderLayout() {
+    var wireLayout = MemoryLayout.ofSequence(
+        MemoryLayout.ofStruct(
+            MemoryLayout.ofValueBits(32, BIG_ENDIAN).withName("key"),
+            MemoryLayout.ofValueBits(32, BIG_ENDIAN).withName("value")
+        )
+    ).withName("KeyValues");
+    var nativeLayout = MemoryLayout.ofSequence(
+        MemoryLayout.ofStruct(
+            MemoryLayout.ofValueBits(32, nativeOrder()).withName("key"),
+            MemoryLayout.ofValueBits(32, nativeOrder()).withName("value")
+        )
+    ).withName("KeyValues");
+
+    assertEquals(nativeLayout, FastAccess.nativeOrderLayout(wireLayout));
+    assertSame(FastAccess.of(nativeLayout), FastAccess.ofNativeOrder(wireLayout));
+  }
+
+  @Test
+  public void swapByteOrderInPlace() {
+    var wireLayout = MemoryLayout.ofSequence(
+        MemoryLayout.ofStruct(
+            MemoryLayout.ofValueBits(32, BIG_ENDIAN).withName("key"),
+            MemoryLayout.ofValueBits(32, BIG_ENDIAN).withName("value")
+        )
+    );
+
+    var wireAccess = FastAccess.of(wireLayout);
+    var nativeAccess = FastAccess.ofNativeOrder(wireLayout);
+    try (var segment = MemorySegment.allocateNative(400)) {
+      for (int i = 0 ; i < 50 ; i++) {
+        wireAccess.setInt(segment, "[].key", i, i);
+        wireAccess.setInt(segment, "[].value", i, -i);
+      }
+
+      FastAccess.swapByteOrder(wireLayout, segment);
+      for (int i = 0 ; i < 50 ; i++) {
+        assertEquals(i, nativeAccess.getInt(segment, "[].key", i));
+        assertEquals(-i, nativeAccess.getInt(segment, "[].value", i));
+      }
+
+      FastAccess.swapByteOrder(wireLayout, segment);
+      for (int i = 0 ; i < 50 ; i++) {
+        assertEquals(i, wireAccess.getInt(segment, "[].key", i));
+        assertEquals(-i, wireAccess.getInt(segment, "[].value", i));
+      }
+    }
+  }
+
+  @Test
+  public void swapByteOrderCopy() {
+    var wireLayout = MemoryLayout.ofStruct(
+        MemoryLayout.ofValueBits(16, BIG_ENDIAN).withName("tag"),
+        MemoryLayout.ofPaddingBits(16),
+        MemoryLayout.ofValueBits(32, nativeOrder()).withName("key"),
+        MemoryLayout.ofValueBits(64, BIG_ENDIAN).withName("value")
+    );
+
+    try (var source = MemorySegment.allocateNative(16);
+         var destination = MemorySegment.allocateNative(16)) {
+      MemoryAccess.setShortAtOffset(source, 0, BIG_ENDIAN, (short) 7);
+      MemoryAccess.setIntAtOffset(source, 4, nativeOrder(), 42);
+      MemoryAccess.setLongAtOffset(source, 8, BIG_ENDIAN, 1L << 40);
+
+      FastAccess.swapByteOrder(wireLayout, source, destination);
+
+      assertEquals(7, MemoryAccess.getShortAtOffset(destination, 0, nativeOrder()));
+      assertEquals(42, MemoryAccess.getIntAtOffset(destination, 4, nativeOrder()));
+      assertEquals(1L << 40, MemoryAccess.getLongAtOffset(destination, 8, nativeOrder()));
+      assertEquals(7, MemoryAccess.getShortAtOffset(source, 0, BIG_ENDIAN));
+    }
+  }
+
+  @Test
+  public void swapByteOrderOutOfBounds() {
+    var wireLayout = MemoryLayout.ofSequence(100,
+        MemoryLayout.ofValueBits(32, BIG_ENDIAN)
+    );
+
+    try (var segment = MemorySegment.allocateNative(40)) {
+      assertThrows(IndexOutOfBoundsException.class, () -> FastAccess.swapByteOrder(wireLayout, segment));
+    }
+  }
+
+  @Test
+  public void swapByteOrderShorts() {
+    var wireLayout = MemoryLayout.ofSequence(3,
+        MemoryLayout.ofValueBits(16, BIG_ENDIAN)
+    );
+
+    try (var segment = MemorySegment.allocateNative(6)) {
+      for (int i = 0 ; i < 3 ; i++) {
+        MemoryAccess.setShortAtIndex(segment, i, BIG_ENDIAN, (short) (i * 257 + 1));
+      }
+
+      FastAccess.swapByteOrder(wireLayout, segment);
+
+      for (int i = 0 ; i < 3 ; i++) {
+        assertEquals((short) (i * 257 + 1), MemoryAccess.getShortAtIndex(segment, i, nativeOrder()));
+      }
+    }
+  }
+
+  @Test
+  public void swapByteOrderLongs() {
+    var wireLayout = MemoryLayout.ofSequence(
+        MemoryLayout.ofValueBits(64, BIG_ENDIAN)
+    );
 
-}
\ No newline at end of file
+    try (var segment = MemorySegment.allocateNative(5 * 8)) {
+      for (int i = 0 ; i < 5 ; i++) {
+        MemoryAccess.setLongAtIndex(segment, i, BIG_ENDIAN, (long) i << 40 | i);
+      }
+
+      FastAccess.swapByteOrder(wireLayout, segment);
+
+      for (int i = 0 ; i < 5 ; i++) {
+        assertEquals((long) i << 40 | i, MemoryAccess.getLongAtIndex(segment, i, nativeOrder()));
+      }
+    }
+  }
+
+  @Test
+  public void swapByteOrderLargeSharedArray() {
+    var wireLayout = MemoryLayout.ofSequence(
+        MemoryLayout.ofValueBits(32, BIG_ENDIAN)
+    );
+
+    // bigger than the parallel threshold and not a multiple of 8 bytes
+    var count = (1 << 19) + 1;
+    try (var segment = MemorySegment.allocateNative(count * 4L).share()) {
+      for (int i = 0 ; i < count ; i++) {
+        MemoryAccess.setIntAtIndex(segment, i, BIG_ENDIAN, i);
+      }
+
+      FastAccess.swapByteOrder(wireLayout, segment);
+
+      for (int i = 0 ; i < count ; i++) {
+        assertEquals(i, MemoryAccess.getIntAtIndex(segment, i, nativeOrder()));
+      }
+    }
+  }
+
+  @Test
+  public void swapByteOrderLargeSharedArrayOfStruct() {
+    var wireLayout = MemoryLayout.ofSequence(
+        MemoryLayout.ofStruct(
+            MemoryLayout.ofValueBits(16, BIG_ENDIAN).withName("tag"),
+            MemoryLayout.ofPaddingBits(16),
+            MemoryLayout.ofValueBits(32, nativeOrder()).withName("key"),
+            MemoryLayout.ofValueBits(64, BIG_ENDIAN).withName("value")
+        )
+    );
+
+    // bigger than the parallel threshold
+    var count = (1 << 17) + 1;
+    try (var segment = MemorySegment.allocateNative(count * 16L).share()) {
+      for (int i = 0 ; i < count ; i++) {
+        MemoryAccess.setShortAtOffset(segment, i * 16L, BIG_ENDIAN, (short) i);
+        MemoryAccess.setIntAtOffset(segment, i * 16L + 4, nativeOrder(), i);
+        MemoryAccess.setLongAtOffset(segment, i * 16L + 8, BIG_ENDIAN, (long) i << 32 | i);
+      }
+
+      FastAccess.swapByteOrder(wireLayout, segment);
+
+      for (int i = 0 ; i < count ; i++) {
+        assertEquals((short) i, MemoryAccess.getShortAtOffset(segment, i * 16L, nativeOrder()));
+        assertEquals(i, MemoryAccess.getIntAtOffset(segment, i * 16L + 4, nativeOrder()));
+        assertEquals((long) i << 32 | i, MemoryAccess.getLongAtOffset(segment, i * 16L + 8, nativeOrder()));
+      }
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.github.forax.panama.fastaccess.perf;
+
+import com.github.forax.panama.fastaccess.FastAccess;
+import jdk.incubator.foreign.MemoryLayout;
+import jdk.incubator.foreign.MemorySegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.ByteOrder.BIG_ENDIAN;
+
+// mvn test-compile
+// java --add-modules jdk.incubator.foreign -cp target/classes:target/test-classes:<jmh jars> org.openjdk.jmh.Main ByteOrderBenchMark
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "--add-modules", "jdk.incubator.foreign" })
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@SuppressWarnings("static-method")
+public class ByteOrderBenchMark {
+  private static final int SIZE = 1_024;
+  private static final int LARGE_SIZE = 1 << 20;  // 8 MiB, above the parallel threshold
+
+  private static final MemoryLayout WIRE_LAYOUT = MemoryLayout.ofSequence(
+      MemoryLayout.ofStruct(
+          MemoryLayout.ofValueBits(32, BIG_ENDIAN).withName("key"),
+          MemoryLayout.ofValueBits(32, BIG_ENDIAN).withName("value")
+      ));
+
+  private static final FastAccess WIRE_ACCESS = FastAccess.of(WIRE_LAYOUT);
+  private static final FastAccess NATIVE_ACCESS = FastAccess.ofNativeOrder(WIRE_LAYOUT);
+
+  private MemorySegment wireSegment;
+  private MemorySegment nativeSegment;
+  private MemorySegment largeConfinedSegment;
+  private MemorySegment largeSharedSegment;
+
+  @Setup
+  public void setup() {
+    wireSegment = MemorySegment.allocateNative(SIZE * 8);
+    for(var i = 0; i < SIZE; i++) {
+      WIRE_ACCESS.setInt(wireSegment, "[].key", i, i);
+      WIRE_ACCESS.setInt(wireSegment, "[].value", i, -i);
+    }
+    nativeSegment = MemorySegment.allocateNative(SIZE * 8);
+    FastAccess.swapByteOrder(WIRE_LAYOUT, wireSegment, nativeSegment);
+    largeConfinedSegment = MemorySegment.allocateNative(LARGE_SIZE * 8L);
+    largeSharedSegment = MemorySegment.allocateNative(LARGE_SIZE * 8L).share();
+  }
+
+  @TearDown
+  public void tearDown() {
+    wireSegment.close();
+    nativeSegment.close();
+    largeConfinedSegment.close();
+    largeSharedSegment.close();
+  }
+
+  // swap the bytes at each access
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int scan_key_wire_order() {
+    var sum = 0;
+    for(var i = 0; i < SIZE; i++) {
+      sum += WIRE_ACCESS.getInt(wireSegment, "[].key", i);
+    }
+    return sum;
+  }
+
+  // data already converted once
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int scan_key_native_order() {
+    var sum = 0;
+    for(var i = 0; i < SIZE; i++) {
+      sum += NATIVE_ACCESS.getInt(nativeSegment, "[].key", i);
+    }
+    return sum;
+  }
+
+  // cost of the conversion, per element
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public void convert() {
+    FastAccess.swapByteOrder(WIRE_LAYOUT, wireSegment, nativeSegment);
+  }
+
+  // in place conversion of a large confined segment, sequential
+  @Benchmark
+  @OperationsPerInvocation(LARGE_SIZE)
+  public void convert_large_confined() {
+    FastAccess.swapByteOrder(WIRE_LAYOUT, largeConfinedSegment);
+  }
+
+  // in place conversion of a large shared segment, in parallel
+  @Benchmark
+  @OperationsPerInvocation(LARGE_SIZE)
+  public void convert_large_shared() {
+    FastAccess.swapByteOrder(WIRE_LAYOUT, largeSharedSegment);
+  }
+}